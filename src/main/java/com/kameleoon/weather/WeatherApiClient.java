@@ -6,6 +6,8 @@ import com.kameleoon.weather.cache.WeatherCache;
 import com.kameleoon.weather.exception.WeatherAPIException;
 import com.kameleoon.weather.exception.WeatherParsingException;
 import com.kameleoon.weather.exception.WeatherSdkException;
+import com.kameleoon.weather.history.ObservationSeries;
+import com.kameleoon.weather.history.WeatherHistory;
 import com.kameleoon.weather.polling.PollingService;
 
 /**
@@ -16,6 +18,7 @@ import com.kameleoon.weather.polling.PollingService;
 public class WeatherApiClient {
     private final WeatherFetcher fetcher;
     private final WeatherCache cache;
+    private final WeatherHistory history;
     private final PollingService pollingService;
 
     /**
@@ -35,9 +38,11 @@ public class WeatherApiClient {
         this.fetcher = new WeatherFetcher(apiKey, config.getApiTimeout());
 
         if (mode == WeatherMode.POLLING) {
-            this.pollingService = new PollingService(cache, fetcher, config.getPollingInterval(), config.getLogLevel());
+            this.history = config.getHistoryCapacity() > 0 ? new WeatherHistory(config.getHistoryCapacity()) : null;
+            this.pollingService = new PollingService(cache, fetcher, history, config.getPollingInterval(), config.getLogLevel());
             this.pollingService.start();
         } else {
+            this.history = null;
             this.pollingService = null;
         }
     }
@@ -66,6 +71,104 @@ public class WeatherApiClient {
         }
     }
 
+    /**
+     * Returns the current weather at the given coordinates.
+     * Answers from the nearest cached entry within {@code maxDistanceKm} if one is still valid,
+     * otherwise requests the API by coordinates and caches the result as an entry
+     * for the request point (rounded to 0.01 degree).
+     *
+     * @param lat           Latitude in degrees (-90..90)
+     * @param lon           Longitude in degrees (-180..180)
+     * @param maxDistanceKm Maximum distance to a cached city that may be reused
+     * @return WeatherData object containing weather details
+     */
+    public WeatherData getWeatherByCoordinates(double lat, double lon, double maxDistanceKm) throws WeatherSdkException {
+        if (!(lat >= -90 && lat <= 90)) {
+            throw new IllegalArgumentException("lat must be between -90 and 90");
+        }
+        if (!(lon >= -180 && lon <= 180)) {
+            throw new IllegalArgumentException("lon must be between -180 and 180");
+        }
+        if (!(maxDistanceKm >= 0)) {
+            throw new IllegalArgumentException("maxDistanceKm must not be negative");
+        }
+
+        WeatherData cached = cache.getNearby(lat, lon, maxDistanceKm);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            WeatherData fresh = fetcher.fetchWeatherByCoordinates(lat, lon);
+            cache.put(lat, lon, fresh);
+            return fresh;
+        } catch (WeatherAPIException | WeatherParsingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new WeatherSdkException("Unexpected error while fetching weather for coordinates " + lat + "," + lon, e);
+        }
+    }
+
+    /**
+     * Returns up to {@code lastN} most recent polled observations for the given city, oldest first.
+     * Requires {@code WeatherMode.POLLING} and {@link WeatherConfig.Builder#historyCapacity(int)}.
+     *
+     * @param cityName Name of the city or any alias it was queried with
+     * @param lastN    Maximum number of samples to return
+     * @return ObservationSeries with min/max/avg aggregates; empty if the city is not tracked
+     */
+    public ObservationSeries getHistory(String cityName, int lastN) {
+        return requireHistory().last(cache.canonicalQuery(cityName), lastN);
+    }
+
+    /**
+     * Returns polled observations for the given city taken within the time window, oldest first.
+     * Requires {@code WeatherMode.POLLING} and {@link WeatherConfig.Builder#historyCapacity(int)}.
+     *
+     * @param cityName     Name of the city or any alias it was queried with
+     * @param fromEpochSec Window start (observation {@code dt}, inclusive)
+     * @param toEpochSec   Window end (observation {@code dt}, inclusive)
+     * @return ObservationSeries with min/max/avg aggregates; empty if the city is not tracked
+     */
+    public ObservationSeries getHistory(String cityName, long fromEpochSec, long toEpochSec) {
+        return requireHistory().window(cache.canonicalQuery(cityName), fromEpochSec, toEpochSec);
+    }
+
+    /**
+     * Returns up to {@code lastN} most recent polled observations for a coordinate entry, oldest first.
+     * The point is rounded to 0.01 degree, as when the entry was created by
+     * {@link #getWeatherByCoordinates(double, double, double)}.
+     * Requires {@code WeatherMode.POLLING} and {@link WeatherConfig.Builder#historyCapacity(int)}.
+     *
+     * @param lat   Latitude in degrees
+     * @param lon   Longitude in degrees
+     * @param lastN Maximum number of samples to return
+     * @return ObservationSeries with min/max/avg aggregates; empty if the point is not tracked
+     */
+    public ObservationSeries getHistory(double lat, double lon, int lastN) {
+        return requireHistory().last(WeatherCache.locationKey(lat, lon), lastN);
+    }
+
+    /**
+     * Returns polled observations for a coordinate entry taken within the time window, oldest first.
+     * Requires {@code WeatherMode.POLLING} and {@link WeatherConfig.Builder#historyCapacity(int)}.
+     *
+     * @param lat          Latitude in degrees
+     * @param lon          Longitude in degrees
+     * @param fromEpochSec Window start (observation {@code dt}, inclusive)
+     * @param toEpochSec   Window end (observation {@code dt}, inclusive)
+     * @return ObservationSeries with min/max/avg aggregates; empty if the point is not tracked
+     */
+    public ObservationSeries getHistory(double lat, double lon, long fromEpochSec, long toEpochSec) {
+        return requireHistory().window(WeatherCache.locationKey(lat, lon), fromEpochSec, toEpochSec);
+    }
+
+    private WeatherHistory requireHistory() {
+        if (history == null) {
+            throw new IllegalStateException("history is disabled; enable POLLING mode and historyCapacity");
+        }
+        return history;
+    }
 
     /**
      * Shuts down background services (if any).
@@ -13,6 +13,7 @@ public final class WeatherConfig {
     private final Duration apiTimeout;
     private final Duration pollingInterval;
     private final Level logLevel;
+    private final int historyCapacity;
 
     private WeatherConfig(Builder builder) {
         this.cacheSize = builder.cacheSize;
@@ -20,6 +21,7 @@ public final class WeatherConfig {
         this.apiTimeout = builder.apiTimeout;
         this.pollingInterval = builder.pollingInterval;
         this.logLevel = builder.logLevel;
+        this.historyCapacity = builder.historyCapacity;
     }
 
     public int getCacheSize() {
@@ -42,6 +44,13 @@ public final class WeatherConfig {
         return logLevel;
     }
 
+    /**
+     * Number of observations kept per city in POLLING mode, or 0 if history is disabled.
+     */
+    public int getHistoryCapacity() {
+        return historyCapacity;
+    }
+
     /**
      * Builder for {@link WeatherConfig}.
      */
@@ -51,6 +60,7 @@ public final class WeatherConfig {
         private Duration apiTimeout = Duration.ofSeconds(10);
         private Duration pollingInterval = Duration.ofMinutes(2);
         private Level logLevel = Level.WARNING;
+        private int historyCapacity = 0;
 
         public Builder cacheSize(int size) {
             if (size <= 0) {
@@ -92,6 +102,14 @@ public final class WeatherConfig {
             return this;
         }
 
+        public Builder historyCapacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("historyCapacity must be positive");
+            }
+            this.historyCapacity = capacity;
+            return this;
+        }
+
         public WeatherConfig build() {
             return new WeatherConfig(this);
         }
@@ -12,13 +12,16 @@ public record WeatherData(
         long datetime,
         Sys sys,
         int timezone,
-        String name
+        String name,
+        long id,
+        Coord coord
 ) {
 
     public record Weather(String main, String description) {}
     public record Temperature(double temp, double feels_like) {}
     public record Wind(double speed) {}
     public record Sys(long sunrise, long sunset) {}
+    public record Coord(double lon, double lat) {}
 
     private static final Gson gson = new Gson();
 
@@ -52,8 +55,18 @@ public record WeatherData(
         long datetime = root.has("dt") ? root.get("dt").getAsLong() : 0L;
         int timezone = root.has("timezone") ? root.get("timezone").getAsInt() : 0;
         String name = root.has("name") ? root.get("name").getAsString() : "Unknown";
+        long id = root.has("id") ? root.get("id").getAsLong() : 0L;
 
-        return new WeatherData(weather, temperature, visibility, wind, datetime, sys, timezone, name);
+        Coord coord = null;
+        if (root.has("coord")) {
+            JsonObject coordObj = root.getAsJsonObject("coord");
+            coord = new Coord(
+                    coordObj.get("lon").getAsDouble(),
+                    coordObj.get("lat").getAsDouble()
+            );
+        }
+
+        return new WeatherData(weather, temperature, visibility, wind, datetime, sys, timezone, name, id, coord);
     }
 
     public String toJson() {
@@ -6,10 +6,13 @@ import com.kameleoon.weather.exception.WeatherParsingException;
 
 import java.io.IOException;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Locale;
 
 /**
  * HTTP component responsible for retrieving weather data
@@ -37,11 +40,29 @@ public class WeatherFetcher {
      * @throws WeatherParsingException if JSON parsing fails
      */
     public WeatherData fetchWeatherFromAPI(String cityName) throws WeatherAPIException, WeatherParsingException {
+        return fetch("q=" + URLEncoder.encode(cityName, StandardCharsets.UTF_8), "city: " + cityName);
+    }
+
+    /**
+     * Performs a direct HTTP call to OpenWeatherMap API for the given geographic coordinates.
+     *
+     * @param lat Latitude in degrees
+     * @param lon Longitude in degrees
+     * @return Parsed {@link WeatherData} object for the nearest city known to the API
+     * @throws WeatherAPIException     if the API call fails or returns a non-200 response
+     * @throws WeatherParsingException if JSON parsing fails
+     */
+    public WeatherData fetchWeatherByCoordinates(double lat, double lon) throws WeatherAPIException, WeatherParsingException {
+        String coordinates = String.format(Locale.ROOT, "lat=%.4f&lon=%.4f", lat, lon);
+        return fetch(coordinates, "coordinates: " + coordinates);
+    }
+
+    private WeatherData fetch(String query, String target) throws WeatherAPIException, WeatherParsingException {
         try {
             String endpoint = String.format(
-                    "%s?q=%s&appid=%s&units=metric",
+                    "%s?%s&appid=%s&units=metric",
                     WeatherAPIConstants.BASE_URL,
-                    cityName,
+                    query,
                     apiKey
             );
 
@@ -57,7 +78,7 @@ public class WeatherFetcher {
             if (response.statusCode() != 200) {
                 throw new WeatherAPIException(
                         "OpenWeather API returned status " + response.statusCode() +
-                                " for city: " + cityName +
+                                " for " + target +
                                 ". Response body: " + response.body()
                 );
             }
@@ -66,14 +87,14 @@ public class WeatherFetcher {
                 return WeatherData.fromJson(response.body());
             } catch (JsonParseException e) {
                 throw new WeatherParsingException(
-                        "Failed to parse weather data for city: " + cityName, e
+                        "Failed to parse weather data for " + target, e
                 );
             }
 
         } catch (IOException | InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new WeatherAPIException(
-                    "Network or I/O error while fetching weather for city: " + cityName, e
+                    "Network or I/O error while fetching weather for " + target, e
             );
         }
     }
@@ -0,0 +1,240 @@
+package com.kameleoon.weather.cache;
+
+import com.kameleoon.weather.api.WeatherData;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Alias index used internally by WeatherCache.
+ * Maps normalized query strings ("London", "london , GB") to the canonical {@link CityKey}
+ * taken from the API response, so every alias of a city shares one cache entry.
+ * Coordinate lookups get their own keys per rounded request point and never join a named city.
+ * - Queries are normalized on the fly (trimmed, lower-cased, whitespace around commas dropped),
+ * so resolving a known alias does not allocate.
+ * - Aliases are stored in an open-addressing table with linear probing;
+ * removal deletes in place (backward-shift) and the table shrinks when mostly empty.
+ * Not thread-safe: callers must hold the cache lock.
+ */
+final class CityIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, CityKey> byIdentity = new HashMap<>();
+
+    private String[] aliases = new String[INITIAL_CAPACITY];
+    private CityKey[] targets = new CityKey[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the canonical key for the given query, or null if the alias is unknown.
+     */
+    CityKey resolve(String query) {
+        int end = trimmedEnd(query);
+        int start = trimmedStart(query, end);
+        if (start == end) {
+            return null;
+        }
+        int hash = hash(query, start, end);
+        int mask = aliases.length - 1;
+        for (int slot = hash & mask; aliases[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && matches(query, start, end, aliases[slot])) {
+                return targets[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Registers the query as an alias of the city described by the response.
+     * Returns the canonical key, reusing the existing one if the city is already known.
+     */
+    CityKey register(String query, WeatherData data) {
+        CityKey known = resolve(query);
+        if (known != null) {
+            return known;
+        }
+        String alias = normalize(query);
+        String identity = data.id() != 0 ? "#" + data.id() : "?" + alias;
+        CityKey key = byIdentity.get(identity);
+        if (key == null) {
+            key = new CityKey(identity, query.trim());
+            byIdentity.put(identity, key);
+        }
+        key.aliases.add(alias);
+        insert(alias, key);
+        return key;
+    }
+
+    /**
+     * Returns the key of the coordinate entry for the given point, creating it if needed.
+     * Points are rounded to {@link WeatherCache#locationKey(double, double) 0.01 degree},
+     * independently of the city the API resolves them to.
+     */
+    CityKey registerLocation(double lat, double lon) {
+        String identity = WeatherCache.locationKey(lat, lon);
+        CityKey key = byIdentity.get(identity);
+        if (key == null) {
+            key = new CityKey(identity, new WeatherData.Coord(WeatherCache.round(lon), WeatherCache.round(lat)));
+            byIdentity.put(identity, key);
+        }
+        return key;
+    }
+
+    /**
+     * Drops the city and all aliases pointing to it.
+     */
+    void remove(CityKey key) {
+        if (byIdentity.remove(key.identity) == null) {
+            return;
+        }
+        for (String alias : key.aliases) {
+            delete(alias);
+        }
+        key.aliases.clear();
+        if (aliases.length > INITIAL_CAPACITY && size * 8 < aliases.length) {
+            resize(aliases.length / 2);
+        }
+    }
+
+    private void insert(String alias, CityKey key) {
+        if ((size + 1) * 2 > aliases.length) {
+            resize(aliases.length * 2);
+        }
+        int hash = hash(alias, 0, alias.length());
+        int mask = aliases.length - 1;
+        int slot = hash & mask;
+        while (aliases[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        aliases[slot] = alias;
+        targets[slot] = key;
+        hashes[slot] = hash;
+        size++;
+    }
+
+    /**
+     * Removes a stored alias, shifting later entries of its probe run back
+     * so that lookups never stop at the freed slot too early.
+     */
+    private void delete(String alias) {
+        int hash = hash(alias, 0, alias.length());
+        int mask = aliases.length - 1;
+        int slot = hash & mask;
+        while (aliases[slot] != null && !(hashes[slot] == hash && aliases[slot].equals(alias))) {
+            slot = (slot + 1) & mask;
+        }
+        if (aliases[slot] == null) {
+            return;
+        }
+        int free = slot;
+        for (int next = (free + 1) & mask; aliases[next] != null; next = (next + 1) & mask) {
+            int home = hashes[next] & mask;
+            // the entry may move to the free slot only if its home is not within (free, next]
+            boolean reachable = free <= next ? free < home && home <= next : free < home || home <= next;
+            if (!reachable) {
+                aliases[free] = aliases[next];
+                targets[free] = targets[next];
+                hashes[free] = hashes[next];
+                free = next;
+            }
+        }
+        aliases[free] = null;
+        targets[free] = null;
+        hashes[free] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        String[] oldAliases = aliases;
+        CityKey[] oldTargets = targets;
+        aliases = new String[capacity];
+        targets = new CityKey[capacity];
+        hashes = new int[capacity];
+        size = 0;
+        for (int i = 0; i < oldAliases.length; i++) {
+            if (oldAliases[i] != null) {
+                insert(oldAliases[i], oldTargets[i]);
+            }
+        }
+    }
+
+    /** Returns the number of slots of the alias table. */
+    int capacity() {
+        return aliases.length;
+    }
+
+    private static String normalize(String query) {
+        int end = trimmedEnd(query);
+        int start = trimmedStart(query, end);
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i = next(query, i, end)) {
+            int c = charAt(query, i, end);
+            if (c >= 0) {
+                sb.append((char) c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int hash(String query, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i = next(query, i, end)) {
+            int c = charAt(query, i, end);
+            if (c >= 0) {
+                h = 31 * h + c;
+            }
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String query, int start, int end, String alias) {
+        int j = 0;
+        for (int i = start; i < end; i = next(query, i, end)) {
+            int c = charAt(query, i, end);
+            if (c >= 0) {
+                if (j == alias.length() || alias.charAt(j) != c) {
+                    return false;
+                }
+                j++;
+            }
+        }
+        return j == alias.length();
+    }
+
+    /**
+     * Returns the normalized char at position i, or -1 if the whitespace run starting there is dropped.
+     * A whitespace run inside the trimmed range collapses to a single space unless it borders a comma.
+     */
+    private static int charAt(String query, int i, int end) {
+        char c = query.charAt(i);
+        if (!Character.isWhitespace(c)) {
+            return Character.toLowerCase(c);
+        }
+        return query.charAt(i - 1) == ',' || query.charAt(skipWhitespace(query, i, end)) == ',' ? -1 : ' ';
+    }
+
+    private static int next(String query, int i, int end) {
+        return Character.isWhitespace(query.charAt(i)) ? skipWhitespace(query, i, end) : i + 1;
+    }
+
+    private static int skipWhitespace(String query, int i, int end) {
+        while (i < end && Character.isWhitespace(query.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int trimmedEnd(String query) {
+        int end = query.length();
+        while (end > 0 && Character.isWhitespace(query.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static int trimmedStart(String query, int end) {
+        return skipWhitespace(query, 0, end);
+    }
+}
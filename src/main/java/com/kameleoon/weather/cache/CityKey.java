@@ -0,0 +1,32 @@
+package com.kameleoon.weather.cache;
+
+import com.kameleoon.weather.api.WeatherData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Canonical identity of a cache entry, shared by all of its query aliases.
+ * Instances are created once per entry by {@link CityIndex} and compared by reference.
+ * - Named cities have a refresh {@code query} and are placed in the grid at the response coordinates.
+ * - Coordinate lookups have a fixed {@code location} (the rounded request point) and no query.
+ * {@code aliases} lists the normalized aliases registered for the key, so they can be removed with it.
+ */
+final class CityKey {
+    final String identity;
+    final String query;
+    final WeatherData.Coord location;
+    final List<String> aliases = new ArrayList<>(1);
+
+    CityKey(String identity, String query) {
+        this.identity = identity;
+        this.query = query;
+        this.location = null;
+    }
+
+    CityKey(String identity, WeatherData.Coord location) {
+        this.identity = identity;
+        this.query = null;
+        this.location = location;
+    }
+}
@@ -0,0 +1,116 @@
+package com.kameleoon.weather.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index used internally by WeatherCache.
+ * Buckets cached cities into a fixed grid of 1x1 degree cells, so a radius query
+ * only scans the cells overlapping the search area instead of every entry.
+ * Not thread-safe: callers must hold the cache lock.
+ */
+final class GeoGrid {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final int LAT_CELLS = 180;
+    private static final int LON_CELLS = 360;
+
+    private record Entry(CityKey key, double lat, double lon) {}
+
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+
+    void add(CityKey key, double lat, double lon) {
+        cells.computeIfAbsent(cellOf(latCell(lat), lonCell(lon)), cell -> new ArrayList<>(2))
+                .add(new Entry(key, lat, lon));
+    }
+
+    void remove(CityKey key, double lat, double lon) {
+        long cell = cellOf(latCell(lat), lonCell(lon));
+        List<Entry> entries = cells.get(cell);
+        if (entries == null) {
+            return;
+        }
+        entries.removeIf(entry -> entry.key == key);
+        if (entries.isEmpty()) {
+            cells.remove(cell);
+        }
+    }
+
+    /**
+     * Returns the city closest to the given point within {@code maxDistanceKm}, or null if there is none.
+     */
+    CityKey nearest(double lat, double lon, double maxDistanceKm) {
+        double latSpan = maxDistanceKm / KM_PER_DEGREE;
+        int fromLat = latCell(Math.max(-90, lat - latSpan));
+        int toLat = latCell(Math.min(90, lat + latSpan));
+
+        double maxAbsLat = Math.min(90, Math.abs(lat) + latSpan);
+        double lonSpan = maxAbsLat >= 90 ? 180 : latSpan / Math.cos(Math.toRadians(maxAbsLat));
+        int lonCount = lonSpan >= 180 ? LON_CELLS
+                : Math.min(LON_CELLS, (int) (Math.floor(lon + lonSpan) - Math.floor(lon - lonSpan)) + 1);
+        int fromLon = lonCount == LON_CELLS ? 0 : lonCell(lon - lonSpan);
+
+        Nearest best = new Nearest(lat, lon, maxDistanceKm);
+        if ((long) (toLat - fromLat + 1) * lonCount > cells.size()) {
+            cells.values().forEach(best::visit);
+        } else {
+            for (int latCell = fromLat; latCell <= toLat; latCell++) {
+                for (int i = 0; i < lonCount; i++) {
+                    List<Entry> entries = cells.get(cellOf(latCell, (fromLon + i) % LON_CELLS));
+                    if (entries != null) {
+                        best.visit(entries);
+                    }
+                }
+            }
+        }
+        return best.key;
+    }
+
+    private static final class Nearest {
+        private final double lat;
+        private final double lon;
+        private double distanceKm;
+        private CityKey key;
+
+        Nearest(double lat, double lon, double maxDistanceKm) {
+            this.lat = lat;
+            this.lon = lon;
+            this.distanceKm = maxDistanceKm;
+        }
+
+        void visit(List<Entry> entries) {
+            for (Entry entry : entries) {
+                double d = distanceKm(lat, lon, entry.lat, entry.lon);
+                if (d <= distanceKm) {
+                    distanceKm = d;
+                    key = entry.key;
+                }
+            }
+        }
+    }
+
+    /** Great-circle distance (haversine formula). */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static int latCell(double lat) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor(lat + 90));
+    }
+
+    private static int lonCell(double lon) {
+        return Math.floorMod((int) Math.floor(lon + 180), LON_CELLS);
+    }
+
+    private static long cellOf(int latCell, int lonCell) {
+        return (long) latCell * LON_CELLS + lonCell;
+    }
+}
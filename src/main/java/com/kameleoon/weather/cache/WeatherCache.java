@@ -2,9 +2,12 @@ package com.kameleoon.weather.cache;
 
 import com.kameleoon.weather.api.WeatherData;
 
-import java.time.Instant;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -12,60 +15,78 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * Configurable size and TTL via {@link com.kameleoon.weather.WeatherConfig}.
  * - Implements an LRU (Least Recently Used) eviction policy:
  * - Internally uses {@link ConcurrentHashMap} for thread-safe storage
- * and {@link ConcurrentLinkedDeque} to maintain access order.
+ * and {@link DoublyLinkedList} to maintain access order.
+ * - Entries are keyed by canonical city identity: query aliases ("London", "london,GB")
+ * are resolved through {@link CityIndex} and share a single entry.
+ * - Results of coordinate lookups are separate entries keyed by the request point
+ * rounded to 0.01 degree, so they never replace a named city's data.
+ * - Entries are also indexed in a {@link GeoGrid} for nearby lookups
+ * (named cities at the response coordinates, coordinate entries at their request point);
+ * the grid is updated together with eviction and expiry.
  */
 public class WeatherCache {
 
+    private static final double LOCATION_PRECISION = 100;
+
     private final int maxSize;
     private final long ttlSeconds;
+    private final InstantSource clock;
 
-    private final ConcurrentHashMap<String, DoublyLinkedList.Node<String, WeatherData>> map = new ConcurrentHashMap<>();
-    private final DoublyLinkedList<String, WeatherData> list = new DoublyLinkedList<>();
+    private final ConcurrentHashMap<CityKey, DoublyLinkedList.Node<CityKey, WeatherData>> map = new ConcurrentHashMap<>();
+    private final DoublyLinkedList<CityKey, WeatherData> list = new DoublyLinkedList<>();
+    private final CityIndex index = new CityIndex();
+    private final GeoGrid grid = new GeoGrid();
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
 
     public WeatherCache(int maxSize, long ttlSeconds) {
+        this(maxSize, ttlSeconds, InstantSource.system());
+    }
+
+    WeatherCache(int maxSize, long ttlSeconds, InstantSource clock) {
         this.maxSize = maxSize;
         this.ttlSeconds = ttlSeconds;
+        this.clock = clock;
     }
 
     /**
      * Adds or updates a city in cache.
+     * The query is registered as an alias of the city returned in {@code data},
+     * so an existing entry for the same city is updated instead of duplicated.
      * If the limit is exceeded, removes the oldest entry.
      */
     public void put(String city, WeatherData data) {
-        if (city == null || data == null) {
+        if (city == null || city.isBlank() || data == null) {
             return;
         }
-        String key = city.toLowerCase();
 
         readWriteLock.writeLock().lock();
         try {
-            var node = map.get(key);
-            if (node != null) {
-                node.value = data;
-                node.timestampSec = Instant.now().getEpochSecond();
-                list.moveToEnd(node);
-            } else {
-                var newNode = new DoublyLinkedList.Node<>(key, data, Instant.now().getEpochSecond());
-                list.insertBeforeTail(newNode);
-                map.put(key, newNode);
-            }
+            store(index.register(city, data), data);
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
 
-            while (map.size() > maxSize) {
-                var lru = list.first();
-                if (lru == null) {
-                    break;
-                }
-                list.unlink(lru);
-                map.remove(lru.key);
-            }
+    /**
+     * Adds or updates the coordinate entry for the given request point.
+     * The entry is independent of any named city the response belongs to.
+     * If the limit is exceeded, removes the oldest entry.
+     */
+    public void put(double lat, double lon, WeatherData data) {
+        if (data == null) {
+            return;
+        }
+
+        readWriteLock.writeLock().lock();
+        try {
+            store(index.registerLocation(lat, lon), data);
         } finally {
             readWriteLock.writeLock().unlock();
         }
     }
 
     /**
-     * Retrieves cached weather data for the specified city.
+     * Retrieves cached weather data for the specified city or any known alias of it.
      * - If the entry is present and not expired, returns it and moves to MRU.
      * - If expired, removes it and returns null.
      */
@@ -74,13 +95,10 @@ public class WeatherCache {
             return null;
         }
 
-        String key = city.toLowerCase();
-        DoublyLinkedList.Node<String, WeatherData> node;
-
         readWriteLock.readLock().lock();
         try {
-            node = map.get(key);
-            if (node == null) {
+            CityKey key = index.resolve(city);
+            if (key == null || !map.containsKey(key)) {
                 return null;
             }
         } finally {
@@ -89,11 +107,14 @@ public class WeatherCache {
 
         readWriteLock.writeLock().lock();
         try {
-            node = map.get(key);
+            CityKey key = index.resolve(city);
+            var node = key == null ? null : map.get(key);
+            if (node == null) {
+                return null;
+            }
 
-            if (Instant.now().getEpochSecond() - node.timestampSec > ttlSeconds) {
-                list.unlink(node);
-                map.remove(key);
+            if (isExpired(node)) {
+                remove(node);
                 return null;
             }
 
@@ -106,14 +127,151 @@ public class WeatherCache {
     }
 
     /**
-     * Returns all currently stored city names.
+     * Resolves a city name or alias to the canonical query under which the city is stored,
+     * as returned by {@link #getStoredCities()}. Returns null if the city is not cached.
+     */
+    public String canonicalQuery(String city) {
+        if (city == null || city.isBlank()) {
+            return null;
+        }
+
+        readWriteLock.readLock().lock();
+        try {
+            CityKey key = index.resolve(city);
+            return key == null ? null : key.query;
+        } finally {
+            readWriteLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves cached weather data for the entry nearest to the given coordinates.
+     * - Only entries within {@code maxDistanceKm} are considered.
+     * - Expired entries met during the lookup are removed.
+     * - Returns null if no fresh entry is close enough.
+     */
+    public WeatherData getNearby(double lat, double lon, double maxDistanceKm) {
+        readWriteLock.readLock().lock();
+        try {
+            if (grid.nearest(lat, lon, maxDistanceKm) == null) {
+                return null;
+            }
+        } finally {
+            readWriteLock.readLock().unlock();
+        }
+
+        readWriteLock.writeLock().lock();
+        try {
+            CityKey key;
+            while ((key = grid.nearest(lat, lon, maxDistanceKm)) != null) {
+                var node = map.get(key);
+                if (!isExpired(node)) {
+                    list.moveToEnd(node);
+                    return node.value;
+                }
+                remove(node);
+            }
+            return null;
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the query used to refresh each stored city, one per canonical city.
+     * Coordinate entries are listed by {@link #getStoredLocations()} instead.
      */
     public Iterable<String> getStoredCities() {
         readWriteLock.readLock().lock();
         try {
-            return map.keySet();
+            List<String> cities = new ArrayList<>(map.size());
+            for (CityKey key : map.keySet()) {
+                if (key.query != null) {
+                    cities.add(key.query);
+                }
+            }
+            return cities;
+        } finally {
+            readWriteLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the (rounded) request point of each stored coordinate entry.
+     */
+    public Collection<WeatherData.Coord> getStoredLocations() {
+        readWriteLock.readLock().lock();
+        try {
+            List<WeatherData.Coord> locations = new ArrayList<>();
+            for (CityKey key : map.keySet()) {
+                if (key.location != null) {
+                    locations.add(key.location);
+                }
+            }
+            return locations;
         } finally {
             readWriteLock.readLock().unlock();
         }
     }
-}
\ No newline at end of file
+
+    private void store(CityKey key, WeatherData data) {
+        var node = map.get(key);
+        if (node != null) {
+            unindex(node);
+            node.value = data;
+            node.timestampSec = clock.instant().getEpochSecond();
+            list.moveToEnd(node);
+        } else {
+            node = new DoublyLinkedList.Node<>(key, data, clock.instant().getEpochSecond());
+            list.insertBeforeTail(node);
+            map.put(key, node);
+        }
+        WeatherData.Coord point = gridPoint(node);
+        if (point != null) {
+            grid.add(key, point.lat(), point.lon());
+        }
+
+        while (map.size() > maxSize) {
+            var lru = list.first();
+            if (lru == null) {
+                break;
+            }
+            remove(lru);
+        }
+    }
+
+    private boolean isExpired(DoublyLinkedList.Node<CityKey, WeatherData> node) {
+        return clock.instant().getEpochSecond() - node.timestampSec > ttlSeconds;
+    }
+
+    private void remove(DoublyLinkedList.Node<CityKey, WeatherData> node) {
+        list.unlink(node);
+        map.remove(node.key);
+        index.remove(node.key);
+        unindex(node);
+    }
+
+    private void unindex(DoublyLinkedList.Node<CityKey, WeatherData> node) {
+        WeatherData.Coord point = gridPoint(node);
+        if (point != null) {
+            grid.remove(node.key, point.lat(), point.lon());
+        }
+    }
+
+    private static WeatherData.Coord gridPoint(DoublyLinkedList.Node<CityKey, WeatherData> node) {
+        return node.key.location != null ? node.key.location : node.value.coord();
+    }
+
+    /**
+     * Returns the key under which a coordinate entry for the given point is stored,
+     * e.g. {@code "@51.51,-0.13"}. Points are rounded to 0.01 degree (about 1 km).
+     */
+    public static String locationKey(double lat, double lon) {
+        return String.format(Locale.ROOT, "@%.2f,%.2f", round(lat), round(lon));
+    }
+
+    static double round(double degrees) {
+        // adding 0.0 turns -0.0 into 0.0
+        return Math.round(degrees * LOCATION_PRECISION) / LOCATION_PRECISION + 0.0;
+    }
+}
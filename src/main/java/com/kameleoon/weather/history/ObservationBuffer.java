@@ -0,0 +1,87 @@
+package com.kameleoon.weather.history;
+
+import com.kameleoon.weather.api.WeatherData;
+
+/**
+ * Fixed-size ring buffer of observations for a single city, used internally by WeatherHistory.
+ * Samples are stored column-wise in primitive arrays, so appending never allocates.
+ */
+final class ObservationBuffer {
+
+    private static final int FIELDS = ObservationField.values().length;
+
+    private final long[] datetimes;
+    private final double[][] values;
+    private int next;
+    private int count;
+
+    ObservationBuffer(int capacity) {
+        this.datetimes = new long[capacity];
+        this.values = new double[FIELDS][capacity];
+    }
+
+    /**
+     * Appends the readings of the given response.
+     * Responses not newer than the latest sample (same {@code dt}) are skipped.
+     */
+    synchronized void append(WeatherData data) {
+        if (count > 0 && data.datetime() <= datetimes[index(count - 1)]) {
+            return;
+        }
+        datetimes[next] = data.datetime();
+        values[ObservationField.TEMPERATURE.ordinal()][next] = data.temperature().temp();
+        values[ObservationField.FEELS_LIKE.ordinal()][next] = data.temperature().feels_like();
+        values[ObservationField.WIND_SPEED.ordinal()][next] = data.wind().speed();
+        values[ObservationField.VISIBILITY.ordinal()][next] = data.visibility();
+
+        next = (next + 1) % datetimes.length;
+        if (count < datetimes.length) {
+            count++;
+        }
+    }
+
+    /**
+     * Returns up to {@code n} most recent samples.
+     */
+    synchronized ObservationSeries last(int n) {
+        int size = Math.min(n, count);
+        return copy(count - size, size);
+    }
+
+    /**
+     * Returns samples with {@code from <= dt <= to}.
+     */
+    synchronized ObservationSeries window(long from, long to) {
+        int first = 0;
+        while (first < count && datetimes[index(first)] < from) {
+            first++;
+        }
+        int end = first;
+        while (end < count && datetimes[index(end)] <= to) {
+            end++;
+        }
+        return copy(first, end - first);
+    }
+
+    /** Maps a position (0 = oldest sample) to its array slot. */
+    private int index(int position) {
+        int oldest = count < datetimes.length ? 0 : next;
+        return (oldest + position) % datetimes.length;
+    }
+
+    private ObservationSeries copy(int from, int size) {
+        if (size <= 0) {
+            return ObservationSeries.EMPTY;
+        }
+        long[] dts = new long[size];
+        double[][] columns = new double[FIELDS][size];
+        for (int i = 0; i < size; i++) {
+            int slot = index(from + i);
+            dts[i] = datetimes[slot];
+            for (int f = 0; f < FIELDS; f++) {
+                columns[f][i] = values[f][slot];
+            }
+        }
+        return new ObservationSeries(dts, columns);
+    }
+}
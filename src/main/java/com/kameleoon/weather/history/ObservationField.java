@@ -0,0 +1,11 @@
+package com.kameleoon.weather.history;
+
+/**
+ * Numeric readings kept in the per-city observation history.
+ */
+public enum ObservationField {
+    TEMPERATURE,
+    FEELS_LIKE,
+    WIND_SPEED,
+    VISIBILITY
+}
@@ -0,0 +1,55 @@
+package com.kameleoon.weather.history;
+
+/**
+ * Immutable snapshot of consecutive observations for one city, oldest first.
+ * Returned by {@link WeatherHistory} queries; holds its own copy of the samples.
+ */
+public final class ObservationSeries {
+
+    static final ObservationSeries EMPTY = new ObservationSeries(new long[0], new double[ObservationField.values().length][0]);
+
+    private final long[] datetimes;
+    private final double[][] values;
+
+    ObservationSeries(long[] datetimes, double[][] values) {
+        this.datetimes = datetimes;
+        this.values = values;
+    }
+
+    public int size() {
+        return datetimes.length;
+    }
+
+    /**
+     * Returns the observation times ({@code dt}, epoch seconds) of all samples.
+     */
+    public long[] datetimes() {
+        return datetimes.clone();
+    }
+
+    /**
+     * Returns the readings of the given field for all samples.
+     */
+    public double[] values(ObservationField field) {
+        return values[field.ordinal()].clone();
+    }
+
+    /**
+     * Computes min/max/avg of the given field over the series.
+     */
+    public ObservationStats stats(ObservationField field) {
+        double[] series = values[field.ordinal()];
+        if (series.length == 0) {
+            return new ObservationStats(0, Double.NaN, Double.NaN, Double.NaN);
+        }
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        for (double value : series) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+        }
+        return new ObservationStats(series.length, min, max, sum / series.length);
+    }
+}
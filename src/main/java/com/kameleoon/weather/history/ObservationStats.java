@@ -0,0 +1,8 @@
+package com.kameleoon.weather.history;
+
+/**
+ * Aggregates of a single {@link ObservationField} over a series of samples.
+ * For an empty series all values are {@code NaN} and {@code count} is zero.
+ */
+public record ObservationStats(int count, double min, double max, double avg) {
+}
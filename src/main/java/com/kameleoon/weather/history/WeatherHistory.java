@@ -0,0 +1,72 @@
+package com.kameleoon.weather.history;
+
+import com.kameleoon.weather.api.WeatherData;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe per-city observation history.
+ * Configurable capacity via {@link com.kameleoon.weather.WeatherConfig}.
+ * - Keeps the last {@code capacity} readings of each city in a fixed-size ring buffer,
+ * so memory use is bounded by cities x capacity x fields.
+ * - Filled by {@link com.kameleoon.weather.polling.PollingService} on every refresh.
+ * - Cities are keyed by their canonical query from
+ * {@link com.kameleoon.weather.cache.WeatherCache#getStoredCities()}.
+ */
+public class WeatherHistory {
+
+    private final int capacity;
+    private final ConcurrentHashMap<String, ObservationBuffer> buffers = new ConcurrentHashMap<>();
+
+    public WeatherHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Appends the readings of the given response to the city's history.
+     * Allocates only the first time a city is seen.
+     */
+    public void record(String city, WeatherData data) {
+        if (city == null || data == null) {
+            return;
+        }
+        ObservationBuffer buffer = buffers.get(city);
+        if (buffer == null) {
+            buffer = buffers.computeIfAbsent(city, key -> new ObservationBuffer(capacity));
+        }
+        buffer.append(data);
+    }
+
+    /**
+     * Returns up to {@code n} most recent observations of the city, oldest first.
+     */
+    public ObservationSeries last(String city, int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        ObservationBuffer buffer = city == null ? null : buffers.get(city);
+        return buffer == null ? ObservationSeries.EMPTY : buffer.last(n);
+    }
+
+    /**
+     * Returns observations of the city taken within {@code [fromEpochSec, toEpochSec]}, oldest first.
+     */
+    public ObservationSeries window(String city, long fromEpochSec, long toEpochSec) {
+        if (fromEpochSec > toEpochSec) {
+            throw new IllegalArgumentException("fromEpochSec must not be after toEpochSec");
+        }
+        ObservationBuffer buffer = city == null ? null : buffers.get(city);
+        return buffer == null ? ObservationSeries.EMPTY : buffer.window(fromEpochSec, toEpochSec);
+    }
+
+    /**
+     * Drops the history of all cities not in the given collection.
+     */
+    public void retainAll(Collection<String> cities) {
+        buffers.keySet().retainAll(cities);
+    }
+}
@@ -4,8 +4,12 @@ import com.kameleoon.weather.api.WeatherData;
 import com.kameleoon.weather.api.WeatherFetcher;
 import com.kameleoon.weather.cache.WeatherCache;
 import com.kameleoon.weather.exception.WeatherPollingException;
+import com.kameleoon.weather.history.WeatherHistory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -17,6 +21,9 @@ import java.util.logging.Logger;
  * Runs in a dedicated daemon thread so it does not block application shutdown.
  * Automatically updates cache entries at the specified interval to ensure
  * low-latency access in {@code WeatherMode.POLLING}.
+ * Coordinate entries are refreshed by their request point.
+ * If a {@link WeatherHistory} is supplied, every refreshed reading is also appended to it,
+ * keyed by the city query or by {@link WeatherCache#locationKey(double, double)}.
  */
 public class PollingService {
 
@@ -25,13 +32,19 @@ public class PollingService {
 
     private final WeatherCache cache;
     private final WeatherFetcher fetcher;
+    private final WeatherHistory history;
     private final ScheduledExecutorService scheduler;
     private final Duration interval;
     private volatile boolean started = false;
 
     public PollingService(WeatherCache cache, WeatherFetcher fetcher, Duration interval, Level logLevel) {
+        this(cache, fetcher, null, interval, logLevel);
+    }
+
+    public PollingService(WeatherCache cache, WeatherFetcher fetcher, WeatherHistory history, Duration interval, Level logLevel) {
         this.cache = cache;
         this.fetcher = fetcher;
+        this.history = history;
         this.interval = interval;
         this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread thread = new Thread(r, "weather-polling");
@@ -49,15 +62,40 @@ public class PollingService {
     }
 
     private void refreshCache() {
-        for (String city : cache.getStoredCities()) {
+        List<String> cities = new ArrayList<>();
+        cache.getStoredCities().forEach(cities::add);
+        Collection<WeatherData.Coord> locations = cache.getStoredLocations();
+        if (history != null) {
+            List<String> tracked = new ArrayList<>(cities);
+            for (WeatherData.Coord location : locations) {
+                tracked.add(WeatherCache.locationKey(location.lat(), location.lon()));
+            }
+            history.retainAll(tracked);
+        }
+        for (String city : cities) {
             try {
                 WeatherData data = fetcher.fetchWeatherFromAPI(city);
                 cache.put(city, data);
+                if (history != null) {
+                    history.record(city, data);
+                }
             } catch (Exception e) {
                 WeatherPollingException pollingError = new WeatherPollingException("Polling failed for city: " + city, e);
                 logger.log(Level.WARNING, "[PollingService] " + pollingError.getMessage(), pollingError);
             }
         }
+        for (WeatherData.Coord location : locations) {
+            try {
+                WeatherData data = fetcher.fetchWeatherByCoordinates(location.lat(), location.lon());
+                cache.put(location.lat(), location.lon(), data);
+                if (history != null) {
+                    history.record(WeatherCache.locationKey(location.lat(), location.lon()), data);
+                }
+            } catch (Exception e) {
+                WeatherPollingException pollingError = new WeatherPollingException("Polling failed for location: " + location, e);
+                logger.log(Level.WARNING, "[PollingService] " + pollingError.getMessage(), pollingError);
+            }
+        }
     }
 
     /** Gracefully stops background refresh service. */
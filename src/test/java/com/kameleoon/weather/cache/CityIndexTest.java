@@ -0,0 +1,190 @@
+package com.kameleoon.weather.cache;
+
+import com.kameleoon.weather.api.WeatherData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CityIndexTest {
+
+    private static WeatherData city(String name, long id) {
+        return new WeatherData(null, null, 0, null, 0, null, 0, name, id, null);
+    }
+
+    @Test
+    void resolvesNormalizedAliasesAfterRegister() {
+        CityIndex index = new CityIndex();
+        CityKey key = index.register("London, GB", city("London", 2643743));
+
+        assertSame(key, index.resolve("london,gb"));
+        assertSame(key, index.resolve("  LONDON ,   GB "));
+        assertNull(index.resolve("london gb"));
+        assertNull(index.resolve("london"));
+        assertNull(index.resolve("   "));
+    }
+
+    @Test
+    void aliasesOfSameCityShareKey() {
+        CityIndex index = new CityIndex();
+        CityKey first = index.register("London", city("London", 2643743));
+        CityKey second = index.register("london,GB", city("London", 2643743));
+
+        assertSame(first, second);
+        assertEquals("London", first.query);
+        assertSame(first, index.resolve("LONDON, gb"));
+    }
+
+    @Test
+    void citiesWithSameNameButDifferentIdsAreDistinct() {
+        CityIndex index = new CityIndex();
+        CityKey gb = index.register("London,GB", city("London", 2643743));
+        CityKey ca = index.register("London,CA", city("London", 6058560));
+
+        assertNotSame(gb, ca);
+    }
+
+    @Test
+    void citiesWithoutIdAreKeyedByQuery() {
+        CityIndex index = new CityIndex();
+        CityKey first = index.register("Atlantis", city("", 0));
+        CityKey second = index.register("Lemuria", city("", 0));
+
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void locationsAreKeyedByRoundedPoint() {
+        CityIndex index = new CityIndex();
+        CityKey point = index.registerLocation(51.50721, -0.12758);
+
+        assertSame(point, index.registerLocation(51.5068, -0.1281));
+        assertNotSame(point, index.registerLocation(51.52, -0.13));
+        assertNull(point.query);
+        assertEquals(51.51, point.location.lat(), 1e-9);
+        assertEquals(-0.13, point.location.lon(), 1e-9);
+    }
+
+    @Test
+    void resolvesCollidingAliases() {
+        // 31 * 'a' + '~' == 31 * 'b' + '_'
+        CityIndex index = new CityIndex();
+        CityKey first = index.register("a~", city("A", 1));
+        CityKey second = index.register("b_", city("B", 2));
+
+        assertSame(first, index.resolve("A~"));
+        assertSame(second, index.resolve("B_"));
+    }
+
+    @Test
+    void growKeepsAllAliases() {
+        CityIndex index = new CityIndex();
+        for (int i = 0; i < 200; i++) {
+            index.register("City " + i, city("City " + i, i + 1));
+        }
+        for (int i = 0; i < 200; i++) {
+            CityKey key = index.resolve(" city  " + i);
+            assertNotNull(key);
+            assertEquals("#" + (i + 1), key.identity);
+        }
+    }
+
+    @Test
+    void removeDropsOnlyAliasesOfThatCity() {
+        CityIndex index = new CityIndex();
+        CityKey removed = index.register("a~", city("A", 1));
+        index.register("A~, X", city("A", 1));
+        CityKey kept = index.register("b_", city("B", 2));
+        for (int i = 0; i < 50; i++) {
+            index.register("City " + i, city("City " + i, i + 10));
+        }
+
+        index.remove(removed);
+
+        assertNull(index.resolve("a~"));
+        assertNull(index.resolve("a~,x"));
+        assertSame(kept, index.resolve("b_"));
+        for (int i = 0; i < 50; i++) {
+            assertNotNull(index.resolve("city " + i));
+        }
+        assertNotSame(removed, index.register("a~", city("A", 1)));
+    }
+
+    @Test
+    void removeKeepsCollidingProbeRunIntact() {
+        // "a~", "b_" and "c@" share one hash, so they form a single probe run
+        CityIndex index = new CityIndex();
+        CityKey a = index.register("a~", city("A", 1));
+        CityKey b = index.register("b_", city("B", 2));
+        CityKey c = index.register("c@", city("C", 3));
+
+        index.remove(b);
+
+        assertSame(a, index.resolve("a~"));
+        assertNull(index.resolve("b_"));
+        assertSame(c, index.resolve("c@"));
+
+        index.remove(a);
+        assertSame(c, index.resolve("c@"));
+    }
+
+    @Test
+    void tableShrinksAfterRemovals() {
+        CityIndex index = new CityIndex();
+        List<CityKey> keys = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            keys.add(index.register("City " + i, city("City " + i, i + 1)));
+        }
+        int grown = index.capacity();
+
+        for (int i = 0; i < 195; i++) {
+            index.remove(keys.get(i));
+        }
+
+        assertTrue(index.capacity() < grown);
+        for (int i = 195; i < 200; i++) {
+            assertSame(keys.get(i), index.resolve("city " + i));
+        }
+    }
+
+    @Test
+    void randomRegisterAndRemoveMatchesReference() {
+        Random random = new Random(42);
+        CityIndex index = new CityIndex();
+        Map<String, CityKey> expected = new HashMap<>();
+        Map<Long, List<String>> aliasesById = new HashMap<>();
+
+        for (int step = 0; step < 5000; step++) {
+            long id = random.nextInt(40) + 1;
+            if (random.nextInt(3) > 0) {
+                String alias = "c" + random.nextInt(200);
+                CityKey key = index.register(alias, city("C", id));
+                if (!expected.containsKey(alias)) {
+                    expected.put(alias, key);
+                    aliasesById.computeIfAbsent(id, k -> new ArrayList<>()).add(alias);
+                }
+            } else {
+                List<String> removed = aliasesById.remove(id);
+                if (removed != null) {
+                    index.remove(expected.get(removed.get(0)));
+                    removed.forEach(expected::remove);
+                }
+            }
+            if (step % 100 == 0) {
+                for (int i = 0; i < 200; i++) {
+                    assertSame(expected.get("c" + i), index.resolve("c" + i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.kameleoon.weather.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GeoGridTest {
+
+    private static CityKey key(String name) {
+        return new CityKey(name, name);
+    }
+
+    /**
+     * Occupies many distant cells, so that small-radius queries scan cells
+     * instead of falling back to visiting every occupied cell.
+     */
+    private static GeoGrid populatedGrid() {
+        GeoGrid grid = new GeoGrid();
+        for (int lat = -60; lat < -40; lat++) {
+            for (int lon = 0; lon < 100; lon++) {
+                grid.add(key("filler"), lat + 0.5, lon + 0.5);
+            }
+        }
+        return grid;
+    }
+
+    @Test
+    void returnsNearestWithinRadius() {
+        GeoGrid grid = populatedGrid();
+        CityKey london = key("London");
+        CityKey paris = key("Paris");
+        grid.add(london, 51.5085, -0.1257);
+        grid.add(paris, 48.8534, 2.3488);
+
+        assertSame(london, grid.nearest(51.45, -0.2, 20));
+        assertSame(paris, grid.nearest(49.5, 2.0, 400));
+        assertNull(grid.nearest(51.45, -0.2, 5));
+        assertNull(grid.nearest(40.7, -74.0, 500));
+    }
+
+    @Test
+    void findsNeighboursAcrossAntimeridian() {
+        GeoGrid grid = populatedGrid();
+        CityKey east = key("east");
+        grid.add(east, -17.7, 179.95);
+
+        assertSame(east, grid.nearest(-17.7, -179.95, 20));
+        assertNull(grid.nearest(-17.7, -179.5, 20));
+
+        CityKey west = key("west");
+        grid.add(west, 65.0, -179.9);
+        assertSame(west, grid.nearest(65.0, 179.9, 20));
+    }
+
+    @Test
+    void findsNeighboursNearPoles() {
+        GeoGrid grid = populatedGrid();
+        CityKey north = key("north");
+        CityKey south = key("south");
+        grid.add(north, 89.9, 0);
+        grid.add(south, -89.95, 45);
+
+        // opposite meridian, about 22 km away across the pole
+        assertSame(north, grid.nearest(89.9, 180, 30));
+        assertSame(north, grid.nearest(90, 0, 15));
+        assertSame(south, grid.nearest(-89.95, -135, 15));
+        assertNull(grid.nearest(89.9, 180, 15));
+    }
+
+    @Test
+    void largeRadiusScansAllCells() {
+        GeoGrid grid = new GeoGrid();
+        CityKey sydney = key("Sydney");
+        grid.add(sydney, -33.87, 151.21);
+
+        assertSame(sydney, grid.nearest(51.5, -0.12, 20_000));
+    }
+
+    @Test
+    void removedEntriesAreNotReturned() {
+        GeoGrid grid = populatedGrid();
+        CityKey first = key("first");
+        CityKey second = key("second");
+        grid.add(first, 10.0, 10.0);
+        grid.add(second, 10.01, 10.01);
+
+        grid.remove(first, 10.0, 10.0);
+        assertSame(second, grid.nearest(10.0, 10.0, 5));
+
+        grid.remove(second, 10.01, 10.01);
+        assertNull(grid.nearest(10.0, 10.0, 5));
+    }
+
+    @Test
+    void distanceMatchesKnownValue() {
+        // London - Paris is about 344 km
+        assertEquals(344, GeoGrid.distanceKm(51.5085, -0.1257, 48.8534, 2.3488), 2);
+    }
+}
@@ -0,0 +1,157 @@
+package com.kameleoon.weather.cache;
+
+import com.kameleoon.weather.api.WeatherData;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class WeatherCacheTest {
+
+    private static final class MutableClock implements InstantSource {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        void advance(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+    }
+
+    private static List<String> storedCities(WeatherCache cache) {
+        List<String> cities = new ArrayList<>();
+        cache.getStoredCities().forEach(cities::add);
+        return cities;
+    }
+
+    private static WeatherData city(String name, long id) {
+        return new WeatherData(null, null, 0, null, 0, null, 0, name, id, null);
+    }
+
+    private static WeatherData city(String name, long id, double lat, double lon) {
+        return new WeatherData(null, null, 0, null, 0, null, 0, name, id, new WeatherData.Coord(lon, lat));
+    }
+
+    @Test
+    void aliasesShareOneEntry() {
+        WeatherCache cache = new WeatherCache(10, 600);
+        WeatherData london = city("London", 2643743);
+        cache.put("London", london);
+        cache.put("london, GB", london);
+
+        assertSame(london, cache.get("LONDON ,gb"));
+        assertEquals(List.of("London"), storedCities(cache));
+    }
+
+    @Test
+    void aliasIsDroppedOnEviction() {
+        WeatherCache cache = new WeatherCache(2, 600);
+        cache.put("London", city("London", 1));
+        cache.put("london,gb", city("London", 1));
+        cache.put("Paris", city("Paris", 2));
+        cache.put("Rome", city("Rome", 3));
+
+        assertNull(cache.get("london"));
+        assertNull(cache.get("london,gb"));
+        assertNull(cache.canonicalQuery("london,gb"));
+
+        WeatherData london = city("London", 1);
+        cache.put("london,gb", london);
+        assertSame(london, cache.get("london,gb"));
+        assertEquals("london,gb", cache.canonicalQuery("LONDON, GB"));
+    }
+
+    @Test
+    void aliasIsDroppedOnExpiry() {
+        MutableClock clock = new MutableClock();
+        WeatherCache cache = new WeatherCache(10, 60, clock);
+        WeatherData london = city("London", 1);
+        cache.put("London", london);
+
+        clock.advance(60);
+        assertSame(london, cache.get("london"));
+
+        clock.advance(1);
+
+        assertNull(cache.get("london"));
+        assertNull(cache.canonicalQuery("london"));
+        assertEquals(0, storedCities(cache).size());
+    }
+
+    @Test
+    void coordinateLookupDoesNotReplaceNamedCity() {
+        WeatherCache cache = new WeatherCache(10, 600);
+        WeatherData london = city("London", 1, 51.5085, -0.1257);
+        WeatherData point = city("London", 1, 51.5, 0.45);
+        cache.put("London", london);
+        cache.put(51.5, 0.45, point);
+
+        assertSame(london, cache.get("London"));
+        assertSame(london, cache.getNearby(51.5, -0.12, 10));
+        assertSame(point, cache.getNearby(51.5, 0.45, 10));
+        assertEquals(List.of("London"), storedCities(cache));
+        assertEquals(1, cache.getStoredLocations().size());
+    }
+
+    @Test
+    void coordinateEntriesWithoutCityAreKeptApart() {
+        WeatherCache cache = new WeatherCache(10, 600);
+        WeatherData atlantic = city("", 0, 0, -30);
+        WeatherData caribbean = city("", 0, 10, -60);
+        cache.put(0, -30, atlantic);
+        cache.put(10, -60, caribbean);
+
+        assertSame(atlantic, cache.getNearby(0, -30, 50));
+        assertSame(caribbean, cache.getNearby(10, -60, 50));
+        assertEquals(2, cache.getStoredLocations().size());
+    }
+
+    @Test
+    void coordinateEntryIsUpdatedInPlace() {
+        WeatherCache cache = new WeatherCache(10, 600);
+        cache.put(51.5, 0.45, city("London", 1, 51.5, 0.45));
+        WeatherData refreshed = city("London", 1, 51.5, 0.45);
+        cache.put(51.501, 0.449, refreshed);
+
+        assertSame(refreshed, cache.getNearby(51.5, 0.45, 1));
+        assertEquals(1, cache.getStoredLocations().size());
+    }
+
+    @Test
+    void gridEntryIsDroppedOnEviction() {
+        WeatherCache cache = new WeatherCache(2, 600);
+        cache.put("London", city("London", 1, 51.5085, -0.1257));
+        cache.put(48.85, 2.35, city("Paris", 2, 48.85, 2.35));
+        cache.put("Rome", city("Rome", 3, 41.89, 12.48));
+        cache.put(40.71, -74.0, city("New York", 4, 40.71, -74.0));
+
+        assertNull(cache.getNearby(51.5, -0.12, 10));
+        assertNull(cache.getNearby(48.85, 2.35, 10));
+        assertEquals(1, cache.getStoredLocations().size());
+    }
+
+    @Test
+    void gridEntryIsDroppedOnExpiry() {
+        MutableClock clock = new MutableClock();
+        WeatherCache cache = new WeatherCache(10, 60, clock);
+        WeatherData point = city("X", 9, 10, 10);
+        cache.put(10, 10, point);
+
+        clock.advance(60);
+        assertSame(point, cache.getNearby(10, 10, 5));
+
+        clock.advance(1);
+
+        assertNull(cache.getNearby(10, 10, 5));
+        assertEquals(0, cache.getStoredLocations().size());
+    }
+}
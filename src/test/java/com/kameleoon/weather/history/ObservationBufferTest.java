@@ -0,0 +1,98 @@
+package com.kameleoon.weather.history;
+
+import com.kameleoon.weather.api.WeatherData;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ObservationBufferTest {
+
+    private static WeatherData reading(long dt, double temp) {
+        return new WeatherData(null, new WeatherData.Temperature(temp, temp - 1), (int) dt * 10,
+                new WeatherData.Wind(temp / 10), dt, null, 0, "City", 1, null);
+    }
+
+    private static ObservationBuffer bufferWith(int capacity, int samples) {
+        ObservationBuffer buffer = new ObservationBuffer(capacity);
+        for (int i = 1; i <= samples; i++) {
+            buffer.append(reading(i * 100L, i));
+        }
+        return buffer;
+    }
+
+    @Test
+    void lastReturnsAllSamplesWhenFewerThanRequested() {
+        ObservationSeries series = bufferWith(5, 3).last(10);
+
+        assertArrayEquals(new long[]{100, 200, 300}, series.datetimes());
+        assertArrayEquals(new double[]{1, 2, 3}, series.values(ObservationField.TEMPERATURE));
+    }
+
+    @Test
+    void lastReturnsMostRecentSamplesOldestFirst() {
+        ObservationSeries series = bufferWith(5, 4).last(2);
+
+        assertArrayEquals(new long[]{300, 400}, series.datetimes());
+    }
+
+    @Test
+    void oldestSamplesAreOverwrittenAfterWraparound() {
+        ObservationBuffer buffer = bufferWith(3, 7);
+
+        ObservationSeries series = buffer.last(10);
+        assertArrayEquals(new long[]{500, 600, 700}, series.datetimes());
+        assertArrayEquals(new double[]{5, 6, 7}, series.values(ObservationField.TEMPERATURE));
+        assertArrayEquals(new double[]{4, 5, 6}, series.values(ObservationField.FEELS_LIKE));
+        assertArrayEquals(new double[]{0.5, 0.6, 0.7}, series.values(ObservationField.WIND_SPEED));
+        assertArrayEquals(new double[]{5000, 6000, 7000}, series.values(ObservationField.VISIBILITY));
+        assertArrayEquals(new long[]{600, 700}, buffer.last(2).datetimes());
+    }
+
+    @Test
+    void windowBoundsAreInclusive() {
+        ObservationBuffer buffer = bufferWith(10, 5);
+
+        assertArrayEquals(new long[]{200, 300, 400}, buffer.window(200, 400).datetimes());
+        assertArrayEquals(new long[]{200, 300}, buffer.window(150, 350).datetimes());
+        assertEquals(0, buffer.window(401, 499).size());
+        assertEquals(0, buffer.window(600, 700).size());
+    }
+
+    @Test
+    void windowWorksAfterWraparound() {
+        ObservationBuffer buffer = bufferWith(4, 9);
+
+        assertArrayEquals(new long[]{600, 700, 800, 900}, buffer.window(0, 1000).datetimes());
+        assertArrayEquals(new long[]{800}, buffer.window(800, 800).datetimes());
+    }
+
+    @Test
+    void readingsNotNewerThanLatestAreSkipped() {
+        ObservationBuffer buffer = bufferWith(5, 2);
+        buffer.append(reading(200, 99));
+        buffer.append(reading(150, 99));
+        buffer.append(reading(300, 3));
+
+        ObservationSeries series = buffer.last(10);
+        assertArrayEquals(new long[]{100, 200, 300}, series.datetimes());
+        assertArrayEquals(new double[]{1, 2, 3}, series.values(ObservationField.TEMPERATURE));
+    }
+
+    @Test
+    void statsAggregateSeries() {
+        ObservationStats stats = bufferWith(10, 4).last(10).stats(ObservationField.TEMPERATURE);
+
+        assertEquals(new ObservationStats(4, 1, 4, 2.5), stats);
+    }
+
+    @Test
+    void statsOfEmptySeriesAreNaN() {
+        ObservationStats stats = new ObservationBuffer(3).last(5).stats(ObservationField.WIND_SPEED);
+
+        assertEquals(0, stats.count());
+        assertEquals(Double.NaN, stats.min());
+        assertEquals(Double.NaN, stats.max());
+        assertEquals(Double.NaN, stats.avg());
+    }
+}
@@ -0,0 +1,62 @@
+package com.kameleoon.weather.history;
+
+import com.kameleoon.weather.api.WeatherData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WeatherHistoryTest {
+
+    private static WeatherData reading(long dt, double temp) {
+        return new WeatherData(null, new WeatherData.Temperature(temp, temp), 10000,
+                new WeatherData.Wind(1), dt, null, 0, "City", 1, null);
+    }
+
+    @Test
+    void keepsSeparateHistoryPerCity() {
+        WeatherHistory history = new WeatherHistory(5);
+        history.record("London", reading(100, 10));
+        history.record("Paris", reading(100, 20));
+        history.record("London", reading(200, 12));
+
+        assertArrayEquals(new double[]{10, 12}, history.last("London", 5).values(ObservationField.TEMPERATURE));
+        assertArrayEquals(new double[]{20}, history.window("Paris", 0, 1000).values(ObservationField.TEMPERATURE));
+    }
+
+    @Test
+    void unknownCityHasEmptyHistory() {
+        WeatherHistory history = new WeatherHistory(5);
+
+        assertEquals(0, history.last("Nowhere", 3).size());
+        assertEquals(0, history.last(null, 3).size());
+        assertEquals(0, history.window("Nowhere", 0, 10).size());
+    }
+
+    @Test
+    void retainAllDropsHistoryOfEvictedCities() {
+        WeatherHistory history = new WeatherHistory(5);
+        history.record("London", reading(100, 10));
+        history.record("Paris", reading(100, 20));
+
+        history.retainAll(List.of("Paris"));
+
+        assertEquals(0, history.last("London", 5).size());
+        assertEquals(1, history.last("Paris", 5).size());
+
+        history.record("London", reading(50, 8));
+        assertArrayEquals(new long[]{50}, history.last("London", 5).datetimes());
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new WeatherHistory(0));
+
+        WeatherHistory history = new WeatherHistory(5);
+        assertThrows(IllegalArgumentException.class, () -> history.last("London", 0));
+        assertThrows(IllegalArgumentException.class, () -> history.window("London", 10, 5));
+    }
+}